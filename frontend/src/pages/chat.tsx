@@ -1,7 +1,7 @@
 import { useState, useEffect, useRef, FormEvent } from "react";
 import { useRouter } from "next/router";
 import Head from "next/head";
-import { ArrowLeft, Sun, Moon, Smile, Paperclip, Send } from "lucide-react";
+import { ArrowLeft, Sun, Moon, Smile, Paperclip, Send, Pencil, Trash2 } from "lucide-react";
 import { wsService, ChatMessage } from "@/services/websocket";
 
 export default function Chat() {
@@ -84,6 +84,39 @@ export default function Chat() {
         return;
       }
 
+      // Apply deltas to the message they refer to
+      if (
+        message.type === "EDIT" ||
+        message.type === "DELETE" ||
+        message.type === "REACT"
+      ) {
+        // Without an id it would match every message that has none (JOIN/LEAVE)
+        if (!message.id) return;
+      }
+      if (message.type === "EDIT") {
+        setMessages((prev) =>
+          prev.map((m) =>
+            m.id === message.id ? { ...m, content: message.content } : m
+          )
+        );
+        return;
+      }
+      if (message.type === "DELETE") {
+        setMessages((prev) => prev.filter((m) => m.id !== message.id));
+        return;
+      }
+      if (message.type === "REACT") {
+        // REACT carries the stored totals, so it replaces (and corrects) local state
+        setMessages((prev) =>
+          prev.map((m) =>
+            m.id === message.id
+              ? { ...m, reactions: message.reactions, reactedBy: message.reactedBy }
+              : m
+          )
+        );
+        return;
+      }
+
       // Add all other messages (CHAT, JOIN, LEAVE, FILE) to the chat
       setMessages((prev) => [...prev, message]);
     });
@@ -145,6 +178,49 @@ export default function Chat() {
     e.target.value = "";
   };
 
+  const handleEdit = (message: ChatMessage) => {
+    if (!message.id) return;
+    const content = window.prompt("Edit message", message.content || "");
+    if (content !== null && content.trim() && content.trim() !== message.content) {
+      wsService.editMessage(message.id, content.trim());
+    }
+  };
+
+  const handleDelete = (message: ChatMessage) => {
+    if (message.id && window.confirm("Delete this message?")) {
+      wsService.deleteMessage(message.id);
+    }
+  };
+
+  const isLiked = (message: ChatMessage) =>
+    (message.reactedBy?.["👍"] || []).includes(username as string);
+
+  const toggleLike = (message: ChatMessage) => {
+    if (!message.id) return;
+    const liked = isLiked(message);
+    wsService.react(message.id, "👍", liked ? -1 : 1);
+
+    // Show the change right away; the next REACT broadcast replaces it with the stored state
+    const me = username as string;
+    setMessages((prev) =>
+      prev.map((m) => {
+        if (m.id !== message.id) return m;
+        const users = m.reactedBy?.["👍"] || [];
+        return {
+          ...m,
+          reactions: {
+            ...(m.reactions || {}),
+            "👍": (m.reactions?.["👍"] || 0) + (liked ? -1 : 1),
+          },
+          reactedBy: {
+            ...(m.reactedBy || {}),
+            "👍": liked ? users.filter((u) => u !== me) : [...users, me],
+          },
+        };
+      })
+    );
+  };
+
   const toggleDarkMode = () => {
     setDarkMode(!darkMode);
     document.documentElement.classList.toggle("dark");
@@ -230,14 +306,60 @@ export default function Chat() {
             />
           )}
 
+          {message.reactions && Object.keys(message.reactions).length > 0 && (
+            <div className="flex flex-wrap gap-1 mt-1">
+              {Object.entries(message.reactions)
+                .filter(([, count]) => count > 0)
+                .map(([emoji, count]) => (
+                <span
+                  key={emoji}
+                  className="text-xs bg-white/20 dark:bg-black/20 rounded-full px-2"
+                >
+                  {emoji} {count}
+                </span>
+              ))}
+            </div>
+          )}
+
           <div
-            className={`text-xs mt-1 ${
+            className={`flex items-center gap-2 text-xs mt-1 ${
               isOwnMessage
                 ? "text-blue-100"
                 : "text-gray-500 dark:text-gray-400"
             }`}
           >
-            {formatTimestamp(message.timestamp)}
+            <span className="mr-auto">{formatTimestamp(message.timestamp)}</span>
+            {message.id && connected && (
+              <>
+                <button
+                  onClick={() => toggleLike(message)}
+                  className={`hover:opacity-100 transition ${
+                    isLiked(message) ? "opacity-100" : "opacity-60"
+                  }`}
+                  title={isLiked(message) ? "Remove reaction" : "React"}
+                >
+                  👍
+                </button>
+                {isOwnMessage && message.type === "CHAT" && (
+                  <button
+                    onClick={() => handleEdit(message)}
+                    className="opacity-60 hover:opacity-100 transition"
+                    title="Edit"
+                  >
+                    <Pencil className="w-3 h-3" />
+                  </button>
+                )}
+                {isOwnMessage && (
+                  <button
+                    onClick={() => handleDelete(message)}
+                    className="opacity-60 hover:opacity-100 transition"
+                    title="Delete"
+                  >
+                    <Trash2 className="w-3 h-3" />
+                  </button>
+                )}
+              </>
+            )}
           </div>
         </div>
       </li>
@@ -2,18 +2,28 @@ import { Client, IMessage } from '@stomp/stompjs'
 import SockJS from 'sockjs-client'
 
 export interface ChatMessage {
-  type: 'CHAT' | 'JOIN' | 'LEAVE' | 'TYPING' | 'FILE'
+  type: 'CHAT' | 'JOIN' | 'LEAVE' | 'TYPING' | 'FILE' | 'EDIT' | 'DELETE' | 'REACT' | 'RECONNECT'
+  // Server-assigned for CHAT/FILE; EDIT, DELETE and REACT refer to it
+  id?: string
   content?: string
   sender: string
   fileContent?: string
   fileType?: string
   timestamp?: number
+  // Emoji -> count (a single +1/-1 when sent; stored totals in history and REACT events)
+  reactions?: Record<string, number>
+  // Emoji -> usernames that reacted (history and REACT events)
+  reactedBy?: Record<string, string[]>
+  // RECONNECT: the server is draining; reconnect at a random point within this window
+  reconnectWithinMs?: number
 }
 
 export class WebSocketService {
   private stompClient: Client | null = null
   private connected: boolean = false
   private username: string = ''
+  private rejoining: boolean = false
+  private reconnectTimer: ReturnType<typeof setTimeout> | null = null
   private messageCallback: ((message: ChatMessage) => void) | null = null
   private connectionCallback: ((connected: boolean) => void) | null = null
 
@@ -33,24 +43,34 @@ export class WebSocketService {
       debug: (str) => {
         console.log('STOMP:', str)
       },
-      reconnectDelay: 5000,
+      // Jittered so clients dropped together don't all come back at the same moment
+      reconnectDelay: 5000 + Math.floor(Math.random() * 5000),
       heartbeatIncoming: 4000,
       heartbeatOutgoing: 4000,
     })
 
     // On connect
     this.stompClient.onConnect = () => {
+      this.clearReconnectTimer()
       this.connected = true
       this.connectionCallback?.(true)
       
       // Subscribe to public channel
       this.stompClient?.subscribe('/topic/public', (message: IMessage) => {
         const chatMessage = JSON.parse(message.body) as ChatMessage
+        if (chatMessage.type === 'RECONNECT') {
+          this.scheduleReconnect(chatMessage.reconnectWithinMs || 0)
+          return
+        }
         this.messageCallback?.(chatMessage)
       })
 
-      // Send join message
-      this.sendJoinMessage()
+      // Send join message (silently after moving off a draining server)
+      if (this.rejoining) {
+        this.sendRejoinMessage()
+      } else {
+        this.sendJoinMessage()
+      }
       onConnected()
     }
 
@@ -67,11 +87,18 @@ export class WebSocketService {
       this.connectionCallback?.(false)
     }
 
+    // The socket is gone (e.g. the draining server closed it first); a pending
+    // reconnect would tear down its replacement, so drop it
+    this.stompClient.onWebSocketClose = () => {
+      this.clearReconnectTimer()
+    }
+
     // Activate the connection
     this.stompClient.activate()
   }
 
   disconnect() {
+    this.clearReconnectTimer()
     if (this.stompClient && this.connected) {
       this.stompClient.deactivate()
       this.connected = false
@@ -132,6 +159,50 @@ export class WebSocketService {
     }
   }
 
+  editMessage(id: string, content: string) {
+    if (this.stompClient && this.connected) {
+      const editMessage: ChatMessage = {
+        id: id,
+        sender: this.username,
+        content: content,
+        type: 'EDIT',
+      }
+      this.stompClient.publish({
+        destination: '/app/chat.editMessage',
+        body: JSON.stringify(editMessage),
+      })
+    }
+  }
+
+  deleteMessage(id: string) {
+    if (this.stompClient && this.connected) {
+      const deleteMessage: ChatMessage = {
+        id: id,
+        sender: this.username,
+        type: 'DELETE',
+      }
+      this.stompClient.publish({
+        destination: '/app/chat.deleteMessage',
+        body: JSON.stringify(deleteMessage),
+      })
+    }
+  }
+
+  react(id: string, emoji: string, delta: 1 | -1 = 1) {
+    if (this.stompClient && this.connected) {
+      const reactMessage: ChatMessage = {
+        id: id,
+        sender: this.username,
+        reactions: { [emoji]: delta },
+        type: 'REACT',
+      }
+      this.stompClient.publish({
+        destination: '/app/chat.react',
+        body: JSON.stringify(reactMessage),
+      })
+    }
+  }
+
   private sendJoinMessage() {
     if (this.stompClient && this.connected) {
       const joinMessage: ChatMessage = {
@@ -145,6 +216,39 @@ export class WebSocketService {
     }
   }
 
+  private sendRejoinMessage() {
+    if (this.stompClient && this.connected) {
+      const rejoinMessage: ChatMessage = {
+        sender: this.username,
+        type: 'JOIN',
+      }
+      this.stompClient.publish({
+        destination: '/app/chat.rejoin',
+        body: JSON.stringify(rejoinMessage),
+      })
+      this.rejoining = false
+    }
+  }
+
+  private scheduleReconnect(withinMs: number) {
+    this.rejoining = true
+    const delay = Math.floor(Math.random() * withinMs)
+    this.clearReconnectTimer()
+    this.reconnectTimer = setTimeout(async () => {
+      this.reconnectTimer = null
+      if (!this.stompClient || !this.connected) return
+      await this.stompClient.deactivate()
+      this.stompClient.activate()
+    }, delay)
+  }
+
+  private clearReconnectTimer() {
+    if (this.reconnectTimer) {
+      clearTimeout(this.reconnectTimer)
+      this.reconnectTimer = null
+    }
+  }
+
   onMessage(callback: (message: ChatMessage) => void) {
     this.messageCallback = callback
   }
@@ -2,11 +2,19 @@ package com.example.ChatBot;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ChatBotApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(ChatBotApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(ChatBotApplication.class, args);
+
+        // CDS training run (-Pcds): start fully, then exit so the JVM dumps the class archive
+        if (Boolean.getBoolean("chatterbox.cds.training")) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 }
@@ -0,0 +1,32 @@
+package com.example.ChatBot.config;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConversionException;
+
+/**
+ * Serializes outbound payloads with {@code ObjectMapper#writeValueAsBytes}, which builds the JSON
+ * in Jackson's per-thread recycled buffers and copies it out once. The stock converter allocates a
+ * new 1KB {@code ByteArrayOutputStream} per message and grows it for anything larger.
+ */
+public class RecyclingJackson2MessageConverter extends MappingJackson2MessageConverter {
+
+    @Override
+    @Nullable
+    protected Object convertToInternal(Object payload, @Nullable MessageHeaders headers,
+                                       @Nullable Object conversionHint) {
+        if (getSerializedPayloadClass() != byte[].class
+                || getSerializationView(conversionHint) != null
+                || getJsonEncoding(getMimeType(headers)) != JsonEncoding.UTF8) {
+            return super.convertToInternal(payload, headers, conversionHint);
+        }
+        try {
+            return getObjectMapper().writeValueAsBytes(payload);
+        } catch (JsonProcessingException ex) {
+            throw new MessageConversionException("Could not write JSON: " + ex.getMessage(), ex);
+        }
+    }
+}
@@ -1,17 +1,39 @@
 // Java
 package com.example.ChatBot.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.DefaultContentTypeResolver;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.socket.config.annotation.*;
 import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
 import org.springframework.context.annotation.Bean;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocket implements WebSocketMessageBrokerConfigurer {
 
+    private final ObjectMapper objectMapper;
+    private final WebSocketSessions sessions;
+
+    public WebSocket(ObjectMapper objectMapper, WebSocketSessions sessions) {
+        this.objectMapper = objectMapper;
+        this.sessions = sessions;
+    }
+
     @Bean
     public ServletServerContainerFactoryBean createWebSocketContainer() {
         ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
@@ -21,10 +43,37 @@ public class WebSocket implements WebSocketMessageBrokerConfigurer {
         return container;
     }
 
+    /**
+     * Boot's WebSocketMessagingAutoConfiguration is another, unordered configurer that adds its own
+     * String, ByteArray and stock Jackson converters to the same list. Whichever runs first, keep one
+     * converter per type and drop the stock Jackson one, so JSON always goes through the recycling
+     * converter. (The auto-configuration itself stays: it keeps the STOMP handler mapping eager under
+     * lazy initialization.)
+     */
+    @Bean
+    public static BeanPostProcessor recyclingJsonConverterOnly() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (!(bean instanceof CompositeMessageConverter composite) || !"brokerMessageConverter".equals(beanName)) {
+                    return bean;
+                }
+                Set<Class<?>> seen = new HashSet<>();
+                List<MessageConverter> converters = composite.getConverters().stream()
+                        .filter(converter -> !(converter instanceof MappingJackson2MessageConverter)
+                                || converter instanceof RecyclingJackson2MessageConverter)
+                        .filter(converter -> seen.add(converter.getClass()))
+                        .collect(Collectors.toList());
+                return new CompositeMessageConverter(converters);
+            }
+        };
+    }
+
     @Override
     public void registerStompEndpoints(@NonNull StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*")  // Allow all origins for development
+                .addInterceptors(sessions)      // Refuse new sessions while draining
                 .withSockJS();
     }
 
@@ -35,10 +84,26 @@ public class WebSocket implements WebSocketMessageBrokerConfigurer {
         registry.setUserDestinationPrefix("/user");
     }
 
+    @Override
+    public boolean configureMessageConverters(@NonNull List<MessageConverter> messageConverters) {
+        // Same converters Spring Boot registers, with JSON written through Jackson's recycled buffers
+        RecyclingJackson2MessageConverter jsonConverter = new RecyclingJackson2MessageConverter();
+        jsonConverter.setObjectMapper(objectMapper);
+        DefaultContentTypeResolver resolver = new DefaultContentTypeResolver();
+        resolver.setDefaultMimeType(MimeTypeUtils.APPLICATION_JSON);
+        jsonConverter.setContentTypeResolver(resolver);
+
+        messageConverters.add(new StringMessageConverter());
+        messageConverters.add(new ByteArrayMessageConverter());
+        messageConverters.add(jsonConverter);
+        return false;
+    }
+
     @Override
     public void configureWebSocketTransport(@NonNull WebSocketTransportRegistration registration) {
         registration.setMessageSizeLimit(10 * 1024 * 1024); // 10MB (to support 5MB files + base64 encoding)
         registration.setSendBufferSizeLimit(10 * 1024 * 1024); // 10MB
         registration.setSendTimeLimit(30 * 1000); // 30 seconds
+        registration.addDecoratorFactory(sessions);
     }
 }
\ No newline at end of file
@@ -26,54 +26,143 @@ public class ChatBotController {
     @MessageMapping("/chat.sendMessage")
     @SendTo("/topic/public")
     public Entity sendMessage(@Payload @Valid Entity chatMessage) {
-        logger.debug("Received message from {}: {}", chatMessage.getSender(), chatMessage.getContent());
+        requireType(chatMessage, Entity.MessageType.CHAT);
+        logger.debug("Received message from {}: {}", chatMessage.sender(), chatMessage.content());
         
         // Sanitize content to prevent XSS
-        if (chatMessage.getContent() != null) {
-            chatMessage.setContent(sanitizeInput(chatMessage.getContent()));
-        }
-        
-        chatMessage.setTimestamp(System.currentTimeMillis());
-        chatService.saveIfPersistable(chatMessage);
-        return chatMessage;
+        return chatService.receive(chatMessage, sanitizeInput(chatMessage.content()));
     }
 
     @MessageMapping("/chat.addUser")
     @SendTo("/topic/public")
     public Entity addUser(@Payload @Valid Entity chatMessage, SimpMessageHeaderAccessor headerAccessor) {
-        logger.info("User joined: {}", chatMessage.getSender());
+        requireType(chatMessage, Entity.MessageType.JOIN);
+        logger.info("User joined: {}", chatMessage.sender());
         
         // Store username in session
         var sessionAttributes = headerAccessor.getSessionAttributes();
         if (sessionAttributes != null) {
-            sessionAttributes.put("username", chatMessage.getSender());
+            sessionAttributes.put("username", chatMessage.sender());
+        }
+        return Entity.of(Entity.MessageType.JOIN, chatMessage.sender()).received(null, null, System.currentTimeMillis());
+    }
+
+    /**
+     * Re-register the username after a drain-induced reconnect without announcing a JOIN.
+     */
+    @MessageMapping("/chat.rejoin")
+    public void rejoin(@Payload @Valid Entity chatMessage, SimpMessageHeaderAccessor headerAccessor) {
+        requireType(chatMessage, Entity.MessageType.JOIN);
+        logger.debug("User rejoined: {}", chatMessage.sender());
+        var sessionAttributes = headerAccessor.getSessionAttributes();
+        if (sessionAttributes != null) {
+            sessionAttributes.put("username", chatMessage.sender());
         }
-        chatMessage.setTimestamp(System.currentTimeMillis());
-        return chatMessage;
     }
 
     @MessageMapping("/chat.typing")
     @SendTo("/topic/public")
     public Entity handleTyping(@Payload @Valid Entity chatMessage) {
-        logger.debug("User typing: {}", chatMessage.getSender());
-        return chatMessage;
+        requireType(chatMessage, Entity.MessageType.TYPING);
+        logger.debug("User typing: {}", chatMessage.sender());
+        return Entity.of(Entity.MessageType.TYPING, chatMessage.sender());
     }
 
     @MessageMapping("/chat.sendFile")
     @SendTo("/topic/public")
     public Entity sendFile(@Payload @Valid Entity chatMessage) {
-        logger.info("File shared by {}: {}", chatMessage.getSender(), chatMessage.getFileType());
-        chatMessage.setTimestamp(System.currentTimeMillis());
-        chatService.saveIfPersistable(chatMessage);
-        return chatMessage;
+        requireType(chatMessage, Entity.MessageType.FILE);
+        logger.info("File shared by {}: {}", chatMessage.sender(), chatMessage.fileType());
+        return chatService.receive(chatMessage, chatMessage.content());
+    }
+
+    @MessageMapping("/chat.editMessage")
+    @SendTo("/topic/public")
+    public Entity editMessage(@Payload @Valid Entity chatMessage, SimpMessageHeaderAccessor headerAccessor) {
+        requireType(chatMessage, Entity.MessageType.EDIT);
+        String username = sessionUsername(headerAccessor);
+        logger.debug("Edit of {} by {}", chatMessage.id(), username);
+        String content = sanitizeInput(chatMessage.content());
+        chatService.editMessage(chatMessage.id(), username, content);
+
+        // Broadcast only the delta, not the whole message
+        return delta(Entity.MessageType.EDIT, chatMessage.id(), username, content);
+    }
+
+    @MessageMapping("/chat.deleteMessage")
+    @SendTo("/topic/public")
+    public Entity deleteMessage(@Payload @Valid Entity chatMessage, SimpMessageHeaderAccessor headerAccessor) {
+        requireType(chatMessage, Entity.MessageType.DELETE);
+        String username = sessionUsername(headerAccessor);
+        logger.debug("Delete of {} by {}", chatMessage.id(), username);
+        chatService.deleteMessage(chatMessage.id(), username);
+        return delta(Entity.MessageType.DELETE, chatMessage.id(), username, null);
+    }
+
+    /**
+     * Reactions are aggregated and broadcast in batches by ReactionAggregator,
+     * so nothing is sent back here.
+     */
+    @MessageMapping("/chat.react")
+    public void react(@Payload @Valid Entity chatMessage, SimpMessageHeaderAccessor headerAccessor) {
+        requireType(chatMessage, Entity.MessageType.REACT);
+        chatService.react(chatMessage.id(), sessionUsername(headerAccessor), chatMessage.reactions());
     }
 
+    private Entity delta(Entity.MessageType type, String id, String sender, String content) {
+        return new Entity(id, type, content, sender, null, null, System.currentTimeMillis(), null, null);
+    }
+
+    /**
+     * Each destination accepts only its own type, so a client can't publish e.g. a DELETE
+     * through /chat.typing and have it broadcast unchecked.
+     */
+    private static void requireType(Entity chatMessage, Entity.MessageType expected) {
+        if (chatMessage.type() != expected) {
+            throw new IllegalArgumentException("Expected a " + expected + " message");
+        }
+    }
+
+    /**
+     * The username stored by addUser/rejoin. Ownership checks use this rather than
+     * the sender in the payload, which the client controls.
+     */
+    private String sessionUsername(SimpMessageHeaderAccessor headerAccessor) {
+        var sessionAttributes = headerAccessor.getSessionAttributes();
+        Object username = sessionAttributes != null ? sessionAttributes.get("username") : null;
+        if (!(username instanceof String)) {
+            throw new IllegalArgumentException("Join the chat before editing, deleting or reacting");
+        }
+        return (String) username;
+    }
+
+    /**
+     * HTML-escapes {@code < > " ' /} in a single pass. Returns the input itself when
+     * there is nothing to escape, which is the common case.
+     */
     private String sanitizeInput(String input) {
         if (input == null) return null;
-        return input.replaceAll("<", "&lt;")
-                   .replaceAll(">", "&gt;")
-                   .replaceAll("\"", "&quot;")
-                   .replaceAll("'", "&#x27;")
-                   .replaceAll("/", "&#x2F;");
+        StringBuilder escaped = null;
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            String replacement;
+            switch (c) {
+                case '<': replacement = "&lt;"; break;
+                case '>': replacement = "&gt;"; break;
+                case '"': replacement = "&quot;"; break;
+                case '\'': replacement = "&#x27;"; break;
+                case '/': replacement = "&#x2F;"; break;
+                default: replacement = null;
+            }
+            if (replacement == null) {
+                if (escaped != null) escaped.append(c);
+                continue;
+            }
+            if (escaped == null) {
+                escaped = new StringBuilder(input.length() + 16).append(input, 0, i);
+            }
+            escaped.append(replacement);
+        }
+        return escaped == null ? input : escaped.toString();
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.ChatBot.controller;
 
+import com.example.ChatBot.config.WebSocketSessions;
 import com.example.ChatBot.model.Entity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +21,9 @@ public class SocketEventListener {
     @Autowired
     private SimpMessageSendingOperations messagingTemplate;
 
+    @Autowired
+    private WebSocketSessions sessions;
+
     @EventListener
     public void handleWebSocketConnectListener(SessionConnectedEvent event) {
         logger.info("Received a new web socket connection");
@@ -35,9 +39,10 @@ public class SocketEventListener {
             if (username != null) {
                 logger.info("User Disconnected : " + username);
 
-                Entity chatMessage = new Entity();
-                chatMessage.setType(Entity.MessageType.LEAVE);
-                chatMessage.setSender(username);
+                // Drain-induced disconnects: the user is moving to another pod, not leaving
+                if (sessions.isDraining()) return;
+
+                Entity chatMessage = Entity.of(Entity.MessageType.LEAVE, username);
 
                 messagingTemplate.convertAndSend("/topic/public", chatMessage);
             }
@@ -1,82 +1,86 @@
 package com.example.ChatBot.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.TypeAlias;
+import org.springframework.data.mongodb.core.mapping.Document;
+
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
+import java.util.List;
+import java.util.Map;
 
-public class Entity {
-    
-    @NotNull(message = "Message type is required")
-    private MessageType type;
-    
-    @Size(max = 2000, message = "Content must not exceed 2000 characters")
-    private String content;
-    
-    @NotBlank(message = "Sender name is required")
-    @Size(min = 2, max = 50, message = "Sender name must be between 2 and 50 characters")
-    private String sender;
-    
-    @Size(max = 10485760, message = "File content must not exceed 10MB (base64 encoded)")
-    private String fileContent;
-    
-    @Size(max = 100, message = "File type must not exceed 100 characters")
-    private String fileType;
-    
-    private long timestamp;
+/**
+ * A chat message as it travels over STOMP and as it is stored in MongoDB (CHAT and FILE only;
+ * JOIN, LEAVE, TYPING are ephemeral, EDIT, DELETE and REACT are applied to a stored message in place).
+ * Immutable, so the same instance is validated, persisted and broadcast without copies.
+ *
+ * @param id          server-assigned id of a persisted message; EDIT, DELETE and REACT use it to
+ *                    name the message they apply to
+ * @param reactions   reaction counts keyed by emoji. Inbound REACT carries a single +1/-1 entry;
+ *                    outbound REACT and history reads carry the totals.
+ * @param reactedBy   usernames that reacted, keyed by emoji. Stored with the message so each user
+ *                    counts once per emoji across restarts and replicas; outbound only.
+ */
+@Document(collection = "messages")
+@TypeAlias("message")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record Entity(
 
-    public enum MessageType {
-        CHAT,
-        JOIN,
-        LEAVE,
-        TYPING,
-        FILE
-    }
+        @Id
+        @Size(max = 64, message = "Message id must not exceed 64 characters")
+        String id,
 
-    public MessageType getType() {
-        return type;
-    }
+        @NotNull(message = "Message type is required")
+        MessageType type,
 
-    public void setType(MessageType type) {
-        this.type = type;
-    }
-
-    public String getContent() {
-        return content;
-    }
+        @Size(max = 2000, message = "Content must not exceed 2000 characters")
+        String content,
 
-    public void setContent(String content) {
-        this.content = content;
-    }
+        @NotBlank(message = "Sender name is required")
+        @Size(min = 2, max = 50, message = "Sender name must be between 2 and 50 characters")
+        @JsonDeserialize(using = InterningStringDeserializer.class)
+        String sender,
 
-    public String getSender() {
-        return sender;
-    }
+        @Size(max = 10485760, message = "File content must not exceed 10MB (base64 encoded)")
+        String fileContent,
 
-    public void setSender(String sender) {
-        this.sender = sender;
-    }
+        @Size(max = 100, message = "File type must not exceed 100 characters")
+        @JsonDeserialize(using = InterningStringDeserializer.class)
+        String fileType,
 
-    public String getFileContent() {
-        return fileContent;
-    }
+        long timestamp,
 
-    public void setFileContent(String fileContent) {
-        this.fileContent = fileContent;
-    }
+        @Size(max = 20, message = "Too many reactions in one message")
+        Map<String, Long> reactions,
 
-    public String getFileType() {
-        return fileType;
-    }
+        Map<String, List<String>> reactedBy) {
 
-    public void setFileType(String fileType) {
-        this.fileType = fileType;
+    public enum MessageType {
+        CHAT,
+        JOIN,
+        LEAVE,
+        TYPING,
+        FILE,
+        EDIT,
+        DELETE,
+        REACT
     }
 
-    public long getTimestamp() {
-        return timestamp;
+    /**
+     * A message with only a type and sender, e.g. JOIN or LEAVE.
+     */
+    public static Entity of(MessageType type, String sender) {
+        return new Entity(null, type, null, sender, null, null, 0, null, null);
     }
 
-    public void setTimestamp(long timestamp) {
-        this.timestamp = timestamp;
+    /**
+     * The server's copy of an inbound message: assigns id, (sanitized) content and timestamp,
+     * and drops any client-supplied reactions.
+     */
+    public Entity received(String id, String content, long timestamp) {
+        return new Entity(id, type, content, sender, fileContent, fileType, timestamp, null, null);
     }
-}
\ No newline at end of file
+}
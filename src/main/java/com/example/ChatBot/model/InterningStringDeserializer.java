@@ -0,0 +1,64 @@
+package com.example.ChatBot.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Deserializes short, frequently repeated strings (sender names, file types) straight from the
+ * parser's character buffer into a shared cache, so a name that was seen before costs no
+ * allocation and every message from the same sender references the same String.
+ * <p>
+ * The cache is a fixed-size, direct-mapped table: a collision simply replaces the slot, so it
+ * never grows with the number of distinct names. Slots are read and written without locking;
+ * Strings are immutable, so a racing reader sees either the old or the new entry.
+ */
+public class InterningStringDeserializer extends StdScalarDeserializer<String> {
+
+    private static final int CACHE_SIZE = 1024; // power of two
+    private static final int MAX_CACHED_LENGTH = 64;
+    private static final String[] CACHE = new String[CACHE_SIZE];
+
+    public InterningStringDeserializer() {
+        super(String.class);
+    }
+
+    @Override
+    public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.currentToken() != JsonToken.VALUE_STRING) {
+            return StringDeserializer.instance.deserialize(p, ctxt);
+        }
+        return intern(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+    }
+
+    static String intern(char[] chars, int offset, int length) {
+        if (length > MAX_CACHED_LENGTH) {
+            return new String(chars, offset, length);
+        }
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int slot = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+
+        String cached = CACHE[slot];
+        if (cached != null && matches(cached, chars, offset, length)) {
+            return cached;
+        }
+        String value = new String(chars, offset, length);
+        CACHE[slot] = value;
+        return value;
+    }
+
+    private static boolean matches(String cached, char[] chars, int offset, int length) {
+        if (cached.length() != length) return false;
+        for (int i = 0; i < length; i++) {
+            if (cached.charAt(i) != chars[offset + i]) return false;
+        }
+        return true;
+    }
+}
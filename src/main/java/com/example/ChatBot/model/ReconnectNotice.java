@@ -0,0 +1,12 @@
+package com.example.ChatBot.model;
+
+/**
+ * Sent on /topic/public when this instance is draining. Clients should reconnect after a random
+ * delay in [0, reconnectWithinMs) and rejoin without announcing themselves again.
+ */
+public record ReconnectNotice(String type, long reconnectWithinMs) {
+
+    public static ReconnectNotice within(long reconnectWithinMs) {
+        return new ReconnectNotice("RECONNECT", reconnectWithinMs);
+    }
+}
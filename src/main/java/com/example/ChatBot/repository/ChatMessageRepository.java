@@ -1,6 +1,6 @@
 package com.example.ChatBot.repository;
 
-import com.example.ChatBot.model.ChatMessageDocument;
+import com.example.ChatBot.model.Entity;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
@@ -8,11 +8,17 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface ChatMessageRepository extends MongoRepository<ChatMessageDocument, String> {
+public interface ChatMessageRepository extends MongoRepository<Entity, String> {
 
     /**
      * Find the most recent messages, ordered by timestamp descending.
      * Used to load message history for new users.
      */
-    List<ChatMessageDocument> findByOrderByTimestampDesc(Pageable pageable);
+    List<Entity> findByOrderByTimestampDesc(Pageable pageable);
+
+    /**
+     * Delete a message only if it was sent by the given user.
+     * Returns the number of deleted documents (0 or 1).
+     */
+    long deleteByIdAndSender(String id, String sender);
 }
@@ -1,38 +1,104 @@
 package com.example.ChatBot.service;
 
-import com.example.ChatBot.model.ChatMessageDocument;
 import com.example.ChatBot.model.Entity;
 import com.example.ChatBot.repository.ChatMessageRepository;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
+/**
+ * Eagerly created even when lazy initialization is on, so the first message
+ * after a pod becomes ready doesn't pay for the Mongo repository setup.
+ */
 @Service
+@Lazy(false)
 public class ChatService {
 
     private static final int DEFAULT_HISTORY_LIMIT = 50;
+    private static final int MAX_REACTION_LENGTH = 16;
 
     private final ChatMessageRepository repository;
+    private final MongoTemplate mongoTemplate;
+    private final ReactionAggregator reactionAggregator;
 
-    public ChatService(ChatMessageRepository repository) {
+    public ChatService(ChatMessageRepository repository, MongoTemplate mongoTemplate,
+                       ReactionAggregator reactionAggregator) {
         this.repository = repository;
+        this.mongoTemplate = mongoTemplate;
+        this.reactionAggregator = reactionAggregator;
     }
 
     /**
-     * Persist a chat message if it's a CHAT or FILE type.
-     * JOIN, LEAVE, TYPING are not stored.
+     * Stamp an inbound message with the given content and the current time, and persist it
+     * under a new id if it's a CHAT or FILE type. JOIN, LEAVE, TYPING are not stored.
+     * The returned instance is both the stored document and the broadcast payload.
      */
-    public void saveIfPersistable(Entity message) {
-        if (message == null) return;
-        if (message.getType() != Entity.MessageType.CHAT && message.getType() != Entity.MessageType.FILE) {
-            return;
+    public Entity receive(Entity inbound, String content) {
+        boolean persistable = inbound.type() == Entity.MessageType.CHAT || inbound.type() == Entity.MessageType.FILE;
+        Entity message = inbound.received(persistable ? new ObjectId().toHexString() : null,
+                content, System.currentTimeMillis());
+        if (persistable) {
+            // The id is already set, so save() would take it for an existing document and upsert
+            repository.insert(message);
         }
-        ChatMessageDocument doc = ChatMessageDocument.fromEntity(message);
-        repository.save(doc);
+        return message;
+    }
+
+    /**
+     * Replace the content of a message, only if it belongs to the sender.
+     * Uses a conditional $set, so no read is needed.
+     */
+    public void editMessage(String id, String sender, String content) {
+        requireId(id);
+        Query query = Query.query(Criteria.where("_id").is(id).and("sender").is(sender));
+        long matched = mongoTemplate.updateFirst(query, Update.update("content", content), Entity.class)
+                .getMatchedCount();
+        if (matched == 0) {
+            throw new IllegalArgumentException("Message not found or not sent by " + sender);
+        }
+    }
+
+    /**
+     * Delete a message, only if it belongs to the sender.
+     */
+    public void deleteMessage(String id, String sender) {
+        requireId(id);
+        if (repository.deleteByIdAndSender(id, sender) == 0) {
+            throw new IllegalArgumentException("Message not found or not sent by " + sender);
+        }
+        reactionAggregator.forget(id);
+    }
+
+    /**
+     * Queue a single +1/-1 reaction from the given user; it is persisted and broadcast
+     * by the next {@link ReactionAggregator} flush. Repeats from the same user are ignored.
+     */
+    public void react(String id, String username, Map<String, Long> reactions) {
+        requireId(id);
+        if (reactions == null || reactions.size() != 1) {
+            throw new IllegalArgumentException("A reaction must carry exactly one emoji");
+        }
+        Map.Entry<String, Long> reaction = reactions.entrySet().iterator().next();
+        String emoji = reaction.getKey();
+        Long delta = reaction.getValue();
+        if (emoji == null || emoji.isBlank() || emoji.length() > MAX_REACTION_LENGTH
+                || emoji.contains(".") || emoji.startsWith("$")) {
+            throw new IllegalArgumentException("Invalid reaction");
+        }
+        if (delta == null || (delta != 1 && delta != -1)) {
+            throw new IllegalArgumentException("A reaction delta must be +1 or -1");
+        }
+        reactionAggregator.add(id, emoji, username, delta);
     }
 
     /**
@@ -42,11 +108,14 @@ public class ChatService {
     public List<Entity> getRecentMessages(int limit) {
         if (limit <= 0) limit = DEFAULT_HISTORY_LIMIT;
         var pageable = PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "timestamp"));
-        List<ChatMessageDocument> docs = repository.findByOrderByTimestampDesc(pageable);
-        List<Entity> entities = docs.stream()
-                .map(ChatMessageDocument::toEntity)
-                .collect(Collectors.toList());
-        Collections.reverse(entities); // Oldest first for display
-        return entities;
+        List<Entity> messages = repository.findByOrderByTimestampDesc(pageable);
+        Collections.reverse(messages); // Oldest first for display
+        return messages;
+    }
+
+    private static void requireId(String id) {
+        if (id == null || !ObjectId.isValid(id)) {
+            throw new IllegalArgumentException("A valid message id is required");
+        }
     }
 }
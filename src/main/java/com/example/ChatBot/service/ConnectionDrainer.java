@@ -0,0 +1,75 @@
+package com.example.ChatBot.service;
+
+import com.example.ChatBot.config.WebSocketSessions;
+import com.example.ChatBot.model.ReconnectNotice;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+
+/**
+ * Drains this instance on shutdown (e.g. a rolling deploy) before the broker and web server stop:
+ * marks it not ready, refuses new sessions, flushes pending reactions, then asks connected
+ * clients to move to another pod with a jittered delay so they don't all reconnect and reload
+ * history at once. Sessions still open after the window are closed with 1012 (service restart).
+ */
+@Component
+@Lazy(false)
+public class ConnectionDrainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionDrainer.class);
+
+    private final WebSocketSessions sessions;
+    private final ReactionAggregator reactionAggregator;
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long reconnectWindowMs;
+
+    public ConnectionDrainer(WebSocketSessions sessions, ReactionAggregator reactionAggregator,
+                             SimpMessageSendingOperations messagingTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${chat.drain.reconnect-window-ms:10000}") long reconnectWindowMs) {
+        this.sessions = sessions;
+        this.reactionAggregator = reactionAggregator;
+        this.messagingTemplate = messagingTemplate;
+        this.eventPublisher = eventPublisher;
+        this.reconnectWindowMs = reconnectWindowMs;
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void drain() {
+        if (sessions.isDraining()) return;
+
+        logger.info("Draining {} WebSocket sessions", sessions.openSessions());
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        sessions.startDraining();
+        reactionAggregator.flush();
+
+        if (sessions.openSessions() == 0) return;
+        messagingTemplate.convertAndSend("/topic/public", ReconnectNotice.within(reconnectWindowMs));
+
+        // Clients leave on their own at random points in the window; stop waiting once they're gone
+        long deadline = System.currentTimeMillis() + reconnectWindowMs;
+        try {
+            while (sessions.openSessions() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        int remaining = sessions.openSessions();
+        if (remaining > 0) {
+            logger.info("Closing {} sessions left after the drain window", remaining);
+            sessions.closeAll(CloseStatus.SERVICE_RESTARTED);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.ChatBot.service;
+
+import com.example.ChatBot.model.Entity;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Collects reactions in memory and flushes them periodically: one bulk write to Mongo
+ * and one REACT broadcast per touched message, instead of a write and a broadcast per
+ * reaction.
+ * <p>
+ * Who reacted is stored with the message in {@code reactedBy.<emoji>}. Each write is
+ * conditional on that set, so {@code $addToSet}/{@code $pull} and the matching
+ * {@code $inc} only apply when the user's state actually changes: a repeated +1 or a
+ * -1 without a +1 is a no-op, on any replica and after restarts. Only the latest
+ * action per user is kept between flushes, so the pending map is bounded by the
+ * activity in one interval and emptied by every flush.
+ */
+@Component
+public class ReactionAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactionAggregator.class);
+
+    // messageId -> (emoji -> (username -> reacted)). Inner maps are only touched inside
+    // compute()/remove() on the outer map, which serializes them per message.
+    private final ConcurrentHashMap<String, Map<String, Map<String, Boolean>>> pending = new ConcurrentHashMap<>();
+
+    private final MongoTemplate mongoTemplate;
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    public ReactionAggregator(MongoTemplate mongoTemplate, SimpMessageSendingOperations messagingTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    /**
+     * Queue a +1/-1 from the given user, replacing any of their earlier actions on the
+     * same emoji that haven't been flushed yet.
+     */
+    public void add(String messageId, String reaction, String username, long delta) {
+        pending.compute(messageId, (id, byEmoji) -> {
+            if (byEmoji == null) byEmoji = new HashMap<>();
+            byEmoji.computeIfAbsent(reaction, emoji -> new HashMap<>()).put(username, delta > 0);
+            return byEmoji;
+        });
+    }
+
+    /**
+     * Drop pending reactions to a deleted message.
+     */
+    public void forget(String messageId) {
+        pending.remove(messageId);
+    }
+
+    @Scheduled(fixedDelayString = "${chat.reactions.flush-interval-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+
+        // ops.get(i) corresponds to the i-th op in the bulk
+        List<Reaction> ops = new ArrayList<>();
+        for (String messageId : pending.keySet()) {
+            Map<String, Map<String, Boolean>> byEmoji = pending.remove(messageId);
+            if (byEmoji == null) continue;
+            byEmoji.forEach((emoji, users) -> users.forEach((username, reacted) ->
+                    ops.add(new Reaction(messageId, emoji, username, reacted))));
+        }
+        if (ops.isEmpty()) return;
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Entity.class);
+        ops.forEach(op -> bulk.updateOne(op.query(), op.update()));
+
+        BulkWriteResult result;
+        try {
+            result = bulk.execute();
+        } catch (BulkOperationException ex) {
+            // UNORDERED: the ops that didn't fail are stored and must still be broadcast
+            Set<Integer> failed = ex.getErrors().stream().map(BulkWriteError::getIndex).collect(Collectors.toSet());
+            logger.error("Failed to persist {} of {} reactions, retrying on next flush", failed.size(), ops.size(), ex);
+            failed.forEach(i -> requeue(ops.get(i)));
+            result = ex.getResult();
+        } catch (RuntimeException ex) {
+            // Don't broadcast changes that were never stored. The ops are conditional,
+            // so retrying any that did apply is a no-op.
+            logger.error("Failed to persist {} reactions, retrying on next flush", ops.size(), ex);
+            ops.forEach(this::requeue);
+            return;
+        }
+        if (result != null && result.getModifiedCount() == 0) return;
+
+        broadcast(ops.stream().map(Reaction::messageId).collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Broadcast the stored totals of the touched messages. Unknown or deleted ids are not
+     * found, so nothing is sent for them.
+     */
+    private void broadcast(Set<String> messageIds) {
+        Query query = Query.query(Criteria.where("_id").in(messageIds));
+        // timestamp is only there because the record's constructor needs every primitive
+        query.fields().include("reactions", "reactedBy", "timestamp");
+        List<Entity> states;
+        try {
+            states = mongoTemplate.find(query, Entity.class);
+        } catch (RuntimeException ex) {
+            logger.error("Failed to read reactions of {} messages", messageIds.size(), ex);
+            return;
+        }
+        states.forEach(state -> messagingTemplate.convertAndSend("/topic/public", new Entity(state.id(),
+                Entity.MessageType.REACT, null, null, null, null, 0, state.reactions(), state.reactedBy())));
+        logger.debug("Flushed reactions for {} messages", states.size());
+    }
+
+    private void requeue(Reaction op) {
+        // A newer action from the same user wins over the failed one
+        pending.compute(op.messageId(), (id, byEmoji) -> {
+            if (byEmoji == null) byEmoji = new HashMap<>();
+            byEmoji.computeIfAbsent(op.emoji(), emoji -> new HashMap<>()).putIfAbsent(op.username(), op.reacted());
+            return byEmoji;
+        });
+    }
+
+    private record Reaction(String messageId, String emoji, String username, boolean reacted) {
+
+        /**
+         * Matches only if the user's state changes, so the $inc can't double count or go negative.
+         */
+        Query query() {
+            Criteria user = Criteria.where("_id").is(messageId).and("reactedBy." + emoji);
+            return Query.query(reacted ? user.ne(username) : user.is(username));
+        }
+
+        Update update() {
+            return reacted
+                    ? new Update().addToSet("reactedBy." + emoji, username).inc("reactions." + emoji, 1L)
+                    : new Update().pull("reactedBy." + emoji, username).inc("reactions." + emoji, -1L);
+        }
+    }
+}
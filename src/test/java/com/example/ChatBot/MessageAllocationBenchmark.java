@@ -0,0 +1,85 @@
+package com.example.ChatBot;
+
+import com.example.ChatBot.config.RecyclingJackson2MessageConverter;
+import com.example.ChatBot.controller.ChatBotController;
+import com.example.ChatBot.model.Entity;
+import com.example.ChatBot.repository.ChatMessageRepository;
+import com.example.ChatBot.service.ChatService;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation per message on the hot paths, without Spring or MongoDB in the loop: the repository
+ * insert is replaced by the mapping to a BSON document it would perform.
+ * Run with {@code ./mvnw -Pjmh test-compile exec:exec} and compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(time = 1)
+@Measurement(time = 1)
+public class MessageAllocationBenchmark {
+
+    private MessageConverter converter;
+    private MappingMongoConverter mongoConverter;
+    private ChatBotController controller;
+    private Message<byte[]> inboundFrame;
+    private MessageHeaders outboundHeaders;
+    private Document storedMessage;
+
+    @Setup
+    public void setup() {
+        // Production log level; logback otherwise defaults to DEBUG on the console
+        ((ch.qos.logback.classic.Logger) org.slf4j.LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME))
+                .setLevel(ch.qos.logback.classic.Level.INFO);
+        converter = new RecyclingJackson2MessageConverter();
+        mongoConverter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        mongoConverter.afterPropertiesSet();
+
+        ChatMessageRepository repository = (ChatMessageRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{ChatMessageRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("insert")) {
+                        mongoConverter.write(args[0], new Document());
+                        return args[0];
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        controller = new ChatBotController(new ChatService(repository, null, null));
+
+        String json = "{\"type\":\"CHAT\",\"sender\":\"alice\",\"content\":\"see you at 5 o'clock - bring the <slides>\"}";
+        inboundFrame = MessageBuilder.withPayload(json.getBytes(StandardCharsets.UTF_8))
+                .setHeader(MessageHeaders.CONTENT_TYPE, "application/json").build();
+        outboundHeaders = new MessageHeaders(Map.of(MessageHeaders.CONTENT_TYPE, "application/json"));
+
+        Entity stored = controller.sendMessage((Entity) converter.fromMessage(inboundFrame, Entity.class));
+        storedMessage = new Document();
+        mongoConverter.write(stored, storedMessage);
+    }
+
+    /** Inbound frame -> validated payload -> persisted -> outbound broadcast payload. */
+    @Benchmark
+    public Message<?> chatMessageRoundTrip() {
+        Entity inbound = (Entity) converter.fromMessage(inboundFrame, Entity.class);
+        Entity outbound = controller.sendMessage(inbound);
+        return converter.toMessage(outbound, outboundHeaders);
+    }
+
+    /** One stored message -> history response element. */
+    @Benchmark
+    public Entity historyRead() {
+        return mongoConverter.read(Entity.class, storedMessage);
+    }
+}
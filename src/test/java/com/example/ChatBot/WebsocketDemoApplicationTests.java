@@ -85,10 +85,8 @@ public class WebsocketDemoApplicationTests {
 		});
 
 		// Send a test message
-		Entity testMessage = new Entity();
-		testMessage.setType(Entity.MessageType.CHAT);
-		testMessage.setContent("Test message");
-		testMessage.setSender("TestUser");
+		Entity testMessage = new Entity(null, Entity.MessageType.CHAT, "Test message", "TestUser",
+				null, null, 0, null, null);
 		
 		session.send("/app/chat.sendMessage", testMessage);
 
@@ -96,27 +94,25 @@ public class WebsocketDemoApplicationTests {
 		Entity receivedMessage = completableFuture.get(5, TimeUnit.SECONDS);
 		
 		assertNotNull(receivedMessage);
-		assertEquals("Test message", receivedMessage.getContent());
-		assertEquals("TestUser", receivedMessage.getSender());
-		assertEquals(Entity.MessageType.CHAT, receivedMessage.getType());
-		assertTrue(receivedMessage.getTimestamp() > 0);
+		assertEquals("Test message", receivedMessage.content());
+		assertEquals("TestUser", receivedMessage.sender());
+		assertEquals(Entity.MessageType.CHAT, receivedMessage.type());
+		assertTrue(receivedMessage.timestamp() > 0);
+		assertNotNull(receivedMessage.id());
 		
 		session.disconnect();
 	}
 
 	@Test
 	public void testEntityModel() {
-		// Test Entity model getters and setters
-		Entity entity = new Entity();
-		entity.setType(Entity.MessageType.JOIN);
-		entity.setContent("Hello");
-		entity.setSender("User1");
-		entity.setTimestamp(System.currentTimeMillis());
+		// Test Entity model accessors and server-side stamping
+		Entity entity = Entity.of(Entity.MessageType.JOIN, "User1")
+				.received(null, "Hello", System.currentTimeMillis());
 		
-		assertEquals(Entity.MessageType.JOIN, entity.getType());
-		assertEquals("Hello", entity.getContent());
-		assertEquals("User1", entity.getSender());
-		assertTrue(entity.getTimestamp() > 0);
+		assertEquals(Entity.MessageType.JOIN, entity.type());
+		assertEquals("Hello", entity.content());
+		assertEquals("User1", entity.sender());
+		assertTrue(entity.timestamp() > 0);
 	}
 
 	@Test
@@ -127,7 +123,10 @@ public class WebsocketDemoApplicationTests {
 		assertNotNull(Entity.MessageType.LEAVE);
 		assertNotNull(Entity.MessageType.TYPING);
 		assertNotNull(Entity.MessageType.FILE);
+		assertNotNull(Entity.MessageType.EDIT);
+		assertNotNull(Entity.MessageType.DELETE);
+		assertNotNull(Entity.MessageType.REACT);
 		
-		assertEquals(5, Entity.MessageType.values().length);
+		assertEquals(8, Entity.MessageType.values().length);
 	}
 }
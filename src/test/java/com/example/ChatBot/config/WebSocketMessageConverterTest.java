@@ -0,0 +1,64 @@
+package com.example.ChatBot.config;
+
+import com.example.ChatBot.repository.ChatMessageRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The broker's converters as wired in the running application, with Boot's own
+ * WebSocket converter configuration in place. Mongo is mocked out.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.autoconfigure.exclude="
+		+ "org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration,"
+		+ "org.springframework.boot.autoconfigure.mongo.embedded.EmbeddedMongoAutoConfiguration,"
+		+ "org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration,"
+		+ "org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration")
+public class WebSocketMessageConverterTest {
+
+	@MockBean
+	private MongoTemplate mongoTemplate;
+
+	@MockBean
+	private ChatMessageRepository repository;
+
+	@Autowired
+	@Qualifier("brokerMessageConverter")
+	private CompositeMessageConverter brokerMessageConverter;
+
+	@Autowired
+	@Qualifier("brokerMessagingTemplate")
+	private SimpMessagingTemplate brokerMessagingTemplate;
+
+	@Test
+	public void testOnlyRecyclingJsonConverterIsRegistered() {
+		List<MessageConverter> converters = brokerMessageConverter.getConverters();
+
+		List<MessageConverter> json = converters.stream()
+				.filter(converter -> converter instanceof MappingJackson2MessageConverter)
+				.collect(Collectors.toList());
+		assertEquals(1, json.size(), converters.toString());
+		assertInstanceOf(RecyclingJackson2MessageConverter.class, json.get(0));
+
+		// One converter per type, not Boot's set on top of ours
+		assertEquals(converters.size(), converters.stream().map(Object::getClass).distinct().count(),
+				converters.toString());
+	}
+
+	@Test
+	public void testBrokerTemplateUsesTheSameConverter() {
+		assertSame(brokerMessageConverter, brokerMessagingTemplate.getMessageConverter());
+	}
+}
@@ -0,0 +1,76 @@
+package com.example.ChatBot.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class WebSocketSessionsTest {
+
+	private final WebSocketSessions sessions = new WebSocketSessions();
+
+	@Test
+	public void testHandshakeAllowedUntilDraining() throws Exception {
+		WebSocketHandler handler = mock(WebSocketHandler.class);
+		MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+		ServletServerHttpResponse response = new ServletServerHttpResponse(servletResponse);
+		ServletServerHttpRequest request = new ServletServerHttpRequest(new MockHttpServletRequest());
+
+		assertTrue(sessions.beforeHandshake(request, response, handler, new HashMap<>()));
+		assertFalse(sessions.isDraining());
+
+		sessions.startDraining();
+
+		assertTrue(sessions.isDraining());
+		assertFalse(sessions.beforeHandshake(request, response, handler, new HashMap<>()));
+		response.flush();
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), servletResponse.getStatus());
+	}
+
+	@Test
+	public void testDecoratorTracksSessions() throws Exception {
+		WebSocketHandler handler = mock(WebSocketHandler.class);
+		WebSocketHandler decorated = sessions.decorate(handler);
+		WebSocketSession first = mock(WebSocketSession.class);
+		WebSocketSession second = mock(WebSocketSession.class);
+
+		decorated.afterConnectionEstablished(first);
+		decorated.afterConnectionEstablished(second);
+		assertEquals(2, sessions.openSessions());
+		verify(handler).afterConnectionEstablished(first);
+
+		decorated.afterConnectionClosed(first, CloseStatus.NORMAL);
+		assertEquals(1, sessions.openSessions());
+		verify(handler).afterConnectionClosed(first, CloseStatus.NORMAL);
+
+		sessions.closeAll(CloseStatus.SERVICE_RESTARTED);
+		verify(second).close(CloseStatus.SERVICE_RESTARTED);
+		verify(first, never()).close(any());
+	}
+
+	@Test
+	public void testCloseAllContinuesPastFailures() throws Exception {
+		WebSocketHandler decorated = sessions.decorate(mock(WebSocketHandler.class));
+		WebSocketSession failing = mock(WebSocketSession.class);
+		WebSocketSession other = mock(WebSocketSession.class);
+		doThrow(new IOException("gone")).when(failing).close(any());
+		decorated.afterConnectionEstablished(failing);
+		decorated.afterConnectionEstablished(other);
+
+		sessions.closeAll(CloseStatus.SERVICE_RESTARTED);
+
+		verify(failing).close(CloseStatus.SERVICE_RESTARTED);
+		verify(other).close(CloseStatus.SERVICE_RESTARTED);
+	}
+}
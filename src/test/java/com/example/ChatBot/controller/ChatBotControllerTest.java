@@ -0,0 +1,186 @@
+package com.example.ChatBot.controller;
+
+import com.example.ChatBot.model.Entity;
+import com.example.ChatBot.service.ChatService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ChatBotControllerTest {
+
+	private ChatService chatService;
+	private ChatBotController controller;
+
+	@BeforeEach
+	public void setup() {
+		chatService = mock(ChatService.class);
+		controller = new ChatBotController(chatService);
+	}
+
+	@Test
+	public void testSanitizerMatchesReplaceAllChain() {
+		String[] inputs = {
+				"<script>alert('x')</script>",
+				"<b>leading",
+				"trailing/",
+				"\"quoted\"",
+				"'",
+				"a/b/c",
+				"<>\"'/",
+				"plain < text > with \"all\" the 'chars' / mixed",
+				"",
+		};
+		for (String input : inputs) {
+			assertEquals(replaceAllChain(input), sanitize(input), input);
+		}
+	}
+
+	@Test
+	public void testSanitizerReturnsSameInstanceWhenNothingToEscape() {
+		String input = new String("Hello, world & friends!");
+		assertSame(input, sanitize(input));
+	}
+
+	@Test
+	public void testSanitizerPassesNullThrough() {
+		assertNull(sanitize(null));
+	}
+
+	@Test
+	public void testTypingOnlyAcceptsTyping() {
+		for (Entity.MessageType type : Entity.MessageType.values()) {
+			if (type == Entity.MessageType.TYPING) continue;
+			Entity forged = new Entity(id(), type, "x", "Mallory", null, null, 0, Map.of("👍", 1000L), null);
+			assertThrows(IllegalArgumentException.class, () -> controller.handleTyping(forged), type.name());
+		}
+	}
+
+	@Test
+	public void testTypingEchoesOnlyTypeAndSender() {
+		Entity typing = new Entity(id(), Entity.MessageType.TYPING, "x", "Alice", "data", "image/png", 42,
+				Map.of("👍", 1000L), null);
+
+		assertEquals(Entity.of(Entity.MessageType.TYPING, "Alice"), controller.handleTyping(typing));
+	}
+
+	@Test
+	public void testSendMessageOnlyAcceptsChat() {
+		for (Entity.MessageType type : new Entity.MessageType[] {Entity.MessageType.EDIT, Entity.MessageType.DELETE,
+				Entity.MessageType.REACT, Entity.MessageType.FILE, Entity.MessageType.JOIN}) {
+			Entity forged = new Entity(null, type, "x", "Mallory", null, null, 0, null, null);
+			assertThrows(IllegalArgumentException.class, () -> controller.sendMessage(forged), type.name());
+		}
+		verifyNoInteractions(chatService);
+	}
+
+	@Test
+	public void testSendFileOnlyAcceptsFile() {
+		Entity forged = new Entity(null, Entity.MessageType.DELETE, null, "Mallory", "data", "image/png", 0, null, null);
+
+		assertThrows(IllegalArgumentException.class, () -> controller.sendFile(forged));
+		verifyNoInteractions(chatService);
+	}
+
+	@Test
+	public void testAddUserOnlyAcceptsJoin() {
+		SimpMessageHeaderAccessor headers = session(null);
+		Entity forged = new Entity(null, Entity.MessageType.EDIT, "x", "Mallory", null, null, 0, null, null);
+
+		assertThrows(IllegalArgumentException.class, () -> controller.addUser(forged, headers));
+		assertThrows(IllegalArgumentException.class, () -> controller.rejoin(forged, headers));
+		assertNull(headers.getSessionAttributes().get("username"));
+	}
+
+	@Test
+	public void testAddUserEchoesOnlyJoin() {
+		SimpMessageHeaderAccessor headers = session(null);
+		Entity join = new Entity(id(), Entity.MessageType.JOIN, "<b>hi</b>", "Alice", null, null, 0,
+				Map.of("👍", 1L), null);
+
+		Entity echo = controller.addUser(join, headers);
+
+		assertEquals("Alice", headers.getSessionAttributes().get("username"));
+		assertEquals(Entity.MessageType.JOIN, echo.type());
+		assertEquals("Alice", echo.sender());
+		assertNull(echo.id());
+		assertNull(echo.content());
+		assertNull(echo.reactions());
+	}
+
+	@Test
+	public void testEditDeleteReactRequireTheirOwnType() {
+		SimpMessageHeaderAccessor headers = session("Alice");
+		Entity chat = new Entity(id(), Entity.MessageType.CHAT, "x", "Alice", null, null, 0, Map.of("👍", 1L), null);
+
+		assertThrows(IllegalArgumentException.class, () -> controller.editMessage(chat, headers));
+		assertThrows(IllegalArgumentException.class, () -> controller.deleteMessage(chat, headers));
+		assertThrows(IllegalArgumentException.class, () -> controller.react(chat, headers));
+		verifyNoInteractions(chatService);
+	}
+
+	@Test
+	public void testEditAndDeleteUseSessionUsername() {
+		String id = id();
+		SimpMessageHeaderAccessor headers = session("Alice");
+
+		Entity edited = controller.editMessage(
+				new Entity(id, Entity.MessageType.EDIT, "<i>", "Mallory", null, null, 0, null, null), headers);
+		Entity deleted = controller.deleteMessage(
+				new Entity(id, Entity.MessageType.DELETE, null, "Mallory", null, null, 0, null, null), headers);
+
+		verify(chatService).editMessage(id, "Alice", "&lt;i&gt;");
+		verify(chatService).deleteMessage(id, "Alice");
+		assertEquals("Alice", edited.sender());
+		assertEquals("Alice", deleted.sender());
+	}
+
+	@Test
+	public void testEditRequiresJoinedSession() {
+		Entity edit = new Entity(id(), Entity.MessageType.EDIT, "x", "Alice", null, null, 0, null, null);
+
+		assertThrows(IllegalArgumentException.class, () -> controller.editMessage(edit, session(null)));
+		verifyNoInteractions(chatService);
+	}
+
+	private static String id() {
+		return new ObjectId().toHexString();
+	}
+
+	private static SimpMessageHeaderAccessor session(String username) {
+		SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create();
+		Map<String, Object> attributes = new HashMap<>();
+		if (username != null) {
+			attributes.put("username", username);
+		}
+		headers.setSessionAttributes(attributes);
+		return headers;
+	}
+
+	/**
+	 * The escaping previously done with five chained replaceAll calls.
+	 */
+	private static String replaceAllChain(String input) {
+		return input.replaceAll("<", "&lt;")
+				.replaceAll(">", "&gt;")
+				.replaceAll("\"", "&quot;")
+				.replaceAll("'", "&#x27;")
+				.replaceAll("/", "&#x2F;");
+	}
+
+	private String sanitize(String content) {
+		clearInvocations(chatService);
+		controller.sendMessage(new Entity(null, Entity.MessageType.CHAT, content, "Alice", null, null, 0, null, null));
+		ArgumentCaptor<String> sanitized = ArgumentCaptor.forClass(String.class);
+		verify(chatService).receive(any(Entity.class), sanitized.capture());
+		return sanitized.getValue();
+	}
+}
@@ -0,0 +1,71 @@
+package com.example.ChatBot.controller;
+
+import com.example.ChatBot.config.WebSocketSessions;
+import com.example.ChatBot.model.Entity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class SocketEventListenerTest {
+
+	private WebSocketSessions sessions;
+	private SimpMessageSendingOperations messagingTemplate;
+	private SocketEventListener listener;
+
+	@BeforeEach
+	public void setup() {
+		sessions = new WebSocketSessions();
+		messagingTemplate = mock(SimpMessageSendingOperations.class);
+		listener = new SocketEventListener();
+		ReflectionTestUtils.setField(listener, "messagingTemplate", messagingTemplate);
+		ReflectionTestUtils.setField(listener, "sessions", sessions);
+	}
+
+	@Test
+	public void testDisconnectBroadcastsLeave() {
+		listener.handleWebSocketDisconnectListener(disconnect("Alice"));
+
+		verify(messagingTemplate).convertAndSend("/topic/public", Entity.of(Entity.MessageType.LEAVE, "Alice"));
+	}
+
+	@Test
+	public void testNoLeaveWhileDraining() {
+		sessions.startDraining();
+
+		listener.handleWebSocketDisconnectListener(disconnect("Alice"));
+
+		verifyNoInteractions(messagingTemplate);
+	}
+
+	@Test
+	public void testNoLeaveBeforeJoin() {
+		listener.handleWebSocketDisconnectListener(disconnect(null));
+
+		verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+	}
+
+	private SessionDisconnectEvent disconnect(String username) {
+		StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+		Map<String, Object> attributes = new HashMap<>();
+		if (username != null) {
+			attributes.put("username", username);
+		}
+		accessor.setSessionAttributes(attributes);
+		accessor.setSessionId("session-1");
+		Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+		return new SessionDisconnectEvent(this, message, "session-1", CloseStatus.NORMAL);
+	}
+}
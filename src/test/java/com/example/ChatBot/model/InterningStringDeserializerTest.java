@@ -0,0 +1,78 @@
+package com.example.ChatBot.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InterningStringDeserializerTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	public void testRepeatedNameIsSameInstance() {
+		String first = intern("some-user-name");
+		String second = intern("some-user-name");
+
+		assertEquals("some-user-name", first);
+		assertSame(first, second);
+	}
+
+	@Test
+	public void testInternsFromOffset() {
+		char[] buffer = "{\"sender\":\"offset-user\"}".toCharArray();
+		String value = InterningStringDeserializer.intern(buffer, 11, 11);
+
+		assertEquals("offset-user", value);
+		assertSame(value, intern("offset-user"));
+	}
+
+	@Test
+	public void testSlotCollisionReturnsCorrectValue() {
+		// Same String.hashCode, so the same slot
+		assertEquals("Aa".hashCode(), "BB".hashCode());
+
+		String aa = intern("Aa");
+		String bb = intern("BB");
+		assertEquals("Aa", aa);
+		assertEquals("BB", bb);
+		// The slot now holds "BB"; "Aa" is re-created rather than mistaken for it
+		assertEquals("Aa", intern("Aa"));
+	}
+
+	@Test
+	public void testLongStringsAreNotCached() {
+		String longName = "x".repeat(65);
+
+		String first = intern(longName);
+		String second = intern(longName);
+		assertEquals(longName, first);
+		assertNotSame(first, second);
+
+		String limit = "y".repeat(64);
+		assertSame(intern(limit), intern(limit));
+	}
+
+	@Test
+	public void testNonStringTokens() throws Exception {
+		Entity message = objectMapper.readValue(
+				"{\"type\":\"CHAT\",\"sender\":123,\"fileType\":null}", Entity.class);
+
+		assertEquals("123", message.sender());
+		assertNull(message.fileType());
+	}
+
+	@Test
+	public void testDeserializesThroughEntity() throws Exception {
+		Entity first = objectMapper.readValue("{\"type\":\"CHAT\",\"sender\":\"json-user\"}", Entity.class);
+		Entity second = objectMapper.readValue("{\"type\":\"CHAT\",\"sender\":\"json-user\"}", Entity.class);
+
+		assertEquals("json-user", first.sender());
+		assertSame(first.sender(), second.sender());
+	}
+
+	private static String intern(String value) {
+		char[] chars = value.toCharArray();
+		return InterningStringDeserializer.intern(chars, 0, chars.length);
+	}
+}
@@ -0,0 +1,136 @@
+package com.example.ChatBot.service;
+
+import com.example.ChatBot.model.Entity;
+import com.example.ChatBot.repository.ChatMessageRepository;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ChatServiceTest {
+
+	private final String id = new ObjectId().toHexString();
+
+	private ChatMessageRepository repository;
+	private MongoTemplate mongoTemplate;
+	private ReactionAggregator reactionAggregator;
+	private ChatService chatService;
+
+	@BeforeEach
+	public void setup() {
+		repository = mock(ChatMessageRepository.class);
+		mongoTemplate = mock(MongoTemplate.class);
+		reactionAggregator = mock(ReactionAggregator.class);
+		chatService = new ChatService(repository, mongoTemplate, reactionAggregator);
+	}
+
+	@Test
+	public void testReceiveInsertsChatWithNewId() {
+		Entity inbound = new Entity(null, Entity.MessageType.CHAT, "raw", "Alice", null, null, 0, null, null);
+
+		Entity stored = chatService.receive(inbound, "hello");
+
+		assertTrue(ObjectId.isValid(stored.id()));
+		assertEquals("hello", stored.content());
+		verify(repository).insert(stored);
+		verify(repository, never()).save(any());
+	}
+
+	@Test
+	public void testReceiveDoesNotStoreJoin() {
+		Entity stored = chatService.receive(Entity.of(Entity.MessageType.JOIN, "Alice"), null);
+
+		assertNull(stored.id());
+		verifyNoInteractions(repository);
+	}
+
+	@Test
+	public void testEditIsConditionalOnSender() {
+		when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(Entity.class)))
+				.thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+		assertThrows(IllegalArgumentException.class, () -> chatService.editMessage(id, "Mallory", "changed"));
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).updateFirst(query.capture(), any(UpdateDefinition.class), eq(Entity.class));
+		Document criteria = query.getValue().getQueryObject();
+		assertEquals(id, criteria.get("_id"));
+		assertEquals("Mallory", criteria.get("sender"));
+	}
+
+	@Test
+	public void testEditByOwner() {
+		when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(Entity.class)))
+				.thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+		assertDoesNotThrow(() -> chatService.editMessage(id, "Alice", "changed"));
+	}
+
+	@Test
+	public void testDeleteIsConditionalOnSender() {
+		when(repository.deleteByIdAndSender(id, "Mallory")).thenReturn(0L);
+
+		assertThrows(IllegalArgumentException.class, () -> chatService.deleteMessage(id, "Mallory"));
+		verify(reactionAggregator, never()).forget(any());
+	}
+
+	@Test
+	public void testDeleteByOwnerForgetsReactions() {
+		when(repository.deleteByIdAndSender(id, "Alice")).thenReturn(1L);
+
+		chatService.deleteMessage(id, "Alice");
+		verify(reactionAggregator).forget(id);
+	}
+
+	@Test
+	public void testInvalidIdRejected() {
+		assertThrows(IllegalArgumentException.class, () -> chatService.editMessage("not-an-id", "Alice", "x"));
+		assertThrows(IllegalArgumentException.class, () -> chatService.deleteMessage(null, "Alice"));
+		verifyNoInteractions(mongoTemplate, repository);
+	}
+
+	@Test
+	public void testReactPlusAndMinusOne() {
+		chatService.react(id, "Alice", Map.of("👍", 1L));
+		chatService.react(id, "Alice", Map.of("👍", -1L));
+
+		verify(reactionAggregator).add(id, "👍", "Alice", 1L);
+		verify(reactionAggregator).add(id, "👍", "Alice", -1L);
+	}
+
+	@Test
+	public void testReactRejectsOtherDeltas() {
+		assertThrows(IllegalArgumentException.class, () -> chatService.react(id, "Alice", Map.of("👍", 2L)));
+		assertThrows(IllegalArgumentException.class, () -> chatService.react(id, "Alice", Map.of("👍", 0L)));
+		Map<String, Long> nullDelta = new HashMap<>();
+		nullDelta.put("👍", null);
+		assertThrows(IllegalArgumentException.class, () -> chatService.react(id, "Alice", nullDelta));
+		verifyNoInteractions(reactionAggregator);
+	}
+
+	@Test
+	public void testReactRejectsInvalidEmojiKeys() {
+		// Keys become field paths in "reactions.<emoji>", so dots and leading $ must not get through
+		for (String emoji : new String[] {"a.b", "$set", " ", "", "x".repeat(17)}) {
+			assertThrows(IllegalArgumentException.class, () -> chatService.react(id, "Alice", Map.of(emoji, 1L)),
+					emoji);
+		}
+		assertThrows(IllegalArgumentException.class,
+				() -> chatService.react(id, "Alice", Map.of("👍", 1L, "❤", 1L)));
+		assertThrows(IllegalArgumentException.class, () -> chatService.react(id, "Alice", Map.of()));
+		assertThrows(IllegalArgumentException.class, () -> chatService.react(id, "Alice", null));
+		verifyNoInteractions(reactionAggregator);
+	}
+}
@@ -0,0 +1,104 @@
+package com.example.ChatBot.service;
+
+import com.example.ChatBot.config.WebSocketSessions;
+import com.example.ChatBot.model.ReconnectNotice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ConnectionDrainerTest {
+
+	private static final long WINDOW_MS = 200;
+
+	private WebSocketSessions sessions;
+	private WebSocketHandler tracker;
+	private ReactionAggregator reactionAggregator;
+	private SimpMessageSendingOperations messagingTemplate;
+	private ApplicationEventPublisher eventPublisher;
+
+	@BeforeEach
+	public void setup() {
+		sessions = new WebSocketSessions();
+		tracker = sessions.decorate(mock(WebSocketHandler.class));
+		reactionAggregator = mock(ReactionAggregator.class);
+		messagingTemplate = mock(SimpMessageSendingOperations.class);
+		eventPublisher = mock(ApplicationEventPublisher.class);
+	}
+
+	@Test
+	public void testNoSessionsReturnsImmediately() {
+		drainer(WINDOW_MS).drain();
+
+		assertTrue(sessions.isDraining());
+		verify(reactionAggregator).flush();
+		ArgumentCaptor<ApplicationEvent> event = ArgumentCaptor.forClass(ApplicationEvent.class);
+		verify(eventPublisher).publishEvent(event.capture());
+		assertEquals(ReadinessState.REFUSING_TRAFFIC, ((AvailabilityChangeEvent<?>) event.getValue()).getState());
+		verifyNoInteractions(messagingTemplate);
+	}
+
+	@Test
+	public void testRemainingSessionsClosedAfterWindow() throws Exception {
+		WebSocketSession session = mock(WebSocketSession.class);
+		tracker.afterConnectionEstablished(session);
+
+		long start = System.currentTimeMillis();
+		drainer(WINDOW_MS).drain();
+		long elapsed = System.currentTimeMillis() - start;
+
+		ArgumentCaptor<Object> notice = ArgumentCaptor.forClass(Object.class);
+		verify(messagingTemplate).convertAndSend(eq("/topic/public"), notice.capture());
+		assertEquals(ReconnectNotice.within(WINDOW_MS), notice.getValue());
+		assertTrue(elapsed >= WINDOW_MS, "waited " + elapsed + "ms");
+		verify(session).close(CloseStatus.SERVICE_RESTARTED);
+	}
+
+	@Test
+	public void testStopsWaitingOnceClientsLeave() throws Exception {
+		WebSocketSession session = mock(WebSocketSession.class);
+		tracker.afterConnectionEstablished(session);
+		Thread client = new Thread(() -> {
+			try {
+				Thread.sleep(50);
+				tracker.afterConnectionClosed(session, CloseStatus.NORMAL);
+			} catch (Exception ex) {
+				throw new IllegalStateException(ex);
+			}
+		});
+		client.start();
+
+		long start = System.currentTimeMillis();
+		drainer(10_000).drain();
+		long elapsed = System.currentTimeMillis() - start;
+		client.join();
+
+		assertTrue(elapsed < 5_000, "waited " + elapsed + "ms");
+		verify(session, never()).close(any());
+	}
+
+	@Test
+	public void testDrainsOnlyOnce() {
+		ConnectionDrainer drainer = drainer(WINDOW_MS);
+		drainer.drain();
+		drainer.drain();
+
+		verify(reactionAggregator, times(1)).flush();
+		verify(eventPublisher, times(1)).publishEvent(any(ApplicationEvent.class));
+	}
+
+	private ConnectionDrainer drainer(long windowMs) {
+		return new ConnectionDrainer(sessions, reactionAggregator, messagingTemplate, eventPublisher, windowMs);
+	}
+}
@@ -0,0 +1,215 @@
+package com.example.ChatBot.service;
+
+import com.example.ChatBot.model.Entity;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ReactionAggregatorTest {
+
+	private final String first = new ObjectId().toHexString();
+	private final String second = new ObjectId().toHexString();
+
+	private MongoTemplate mongoTemplate;
+	private BulkOperations bulk;
+	private SimpMessageSendingOperations messagingTemplate;
+	private ReactionAggregator aggregator;
+
+	@BeforeEach
+	public void setup() {
+		mongoTemplate = mock(MongoTemplate.class);
+		bulk = mock(BulkOperations.class);
+		messagingTemplate = mock(SimpMessageSendingOperations.class);
+		when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq(Entity.class))).thenReturn(bulk);
+		when(bulk.execute()).thenReturn(modified(1));
+		aggregator = new ReactionAggregator(mongoTemplate, messagingTemplate);
+	}
+
+	@Test
+	public void testFlushWritesConditionalOpsAndBroadcastsOncePerMessage() {
+		stored(first);
+		aggregator.add(first, "👍", "Alice", 1);
+		aggregator.add(first, "👍", "Bob", 1);
+		aggregator.add(first, "👍", "Alice", -1);
+		aggregator.add(first, "❤", "Bob", 1);
+
+		aggregator.flush();
+
+		// Alice's latest action wins; every op is conditional on the user's stored state
+		Map<Document, Document> ops = capturedOps(3);
+		assertEquals(new Document("$pull", new Document("reactedBy.👍", "Alice"))
+						.append("$inc", new Document("reactions.👍", -1L)),
+				ops.get(new Document("_id", first).append("reactedBy.👍", "Alice")));
+		assertEquals(new Document("$addToSet", new Document("reactedBy.👍", "Bob"))
+						.append("$inc", new Document("reactions.👍", 1L)),
+				ops.get(new Document("_id", first).append("reactedBy.👍", new Document("$ne", "Bob"))));
+		assertTrue(ops.containsKey(new Document("_id", first).append("reactedBy.❤", new Document("$ne", "Bob"))));
+		verify(bulk).execute();
+
+		// One broadcast per message, carrying the stored state rather than the deltas
+		ArgumentCaptor<Entity> broadcast = ArgumentCaptor.forClass(Entity.class);
+		verify(messagingTemplate).convertAndSend(eq("/topic/public"), broadcast.capture());
+		assertEquals(first, broadcast.getValue().id());
+		assertEquals(Entity.MessageType.REACT, broadcast.getValue().type());
+		assertEquals(Map.of("👍", 1L), broadcast.getValue().reactions());
+		assertEquals(Map.of("👍", List.of("Bob")), broadcast.getValue().reactedBy());
+
+		// Nothing left for the next flush
+		aggregator.flush();
+		verify(bulk, times(1)).execute();
+	}
+
+	@Test
+	public void testRepeatedActionsCollapseToTheLatest() {
+		stored(first);
+		aggregator.add(first, "👍", "Alice", 1);
+		aggregator.add(first, "👍", "Alice", 1);
+		aggregator.add(first, "👍", "Alice", -1);
+		aggregator.add(first, "👍", "Alice", 1);
+
+		aggregator.flush();
+
+		Map<Document, Document> ops = capturedOps(1);
+		assertTrue(ops.containsKey(new Document("_id", first).append("reactedBy.👍", new Document("$ne", "Alice"))));
+	}
+
+	@Test
+	public void testNoBroadcastWhenNothingChanged() {
+		// e.g. a repeated +1 after a restart: the filter doesn't match, so nothing is modified
+		when(bulk.execute()).thenReturn(modified(0));
+		aggregator.add(first, "👍", "Alice", 1);
+
+		aggregator.flush();
+
+		verify(mongoTemplate, never()).find(any(Query.class), eq(Entity.class));
+		verifyNoInteractions(messagingTemplate);
+	}
+
+	@Test
+	public void testUnknownMessagesAreNotBroadcast() {
+		stored(first);
+		aggregator.add(first, "👍", "Alice", 1);
+		aggregator.add(second, "👍", "Alice", 1);
+
+		aggregator.flush();
+
+		ArgumentCaptor<Entity> broadcast = ArgumentCaptor.forClass(Entity.class);
+		verify(messagingTemplate).convertAndSend(eq("/topic/public"), broadcast.capture());
+		assertEquals(first, broadcast.getValue().id());
+	}
+
+	@Test
+	public void testFailedFlushIsRetried() {
+		stored(first);
+		aggregator.add(first, "👍", "Alice", 1);
+		when(bulk.execute()).thenThrow(new IllegalStateException("down")).thenReturn(modified(1));
+
+		aggregator.flush();
+		verifyNoInteractions(messagingTemplate);
+
+		aggregator.flush();
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(bulk, times(2)).updateOne(query.capture(), any(Update.class));
+		assertEquals(query.getAllValues().get(0).getQueryObject(), query.getAllValues().get(1).getQueryObject());
+		verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/public"), any(Entity.class));
+	}
+
+	@Test
+	public void testNewerActionWinsOverRetry() {
+		stored(first);
+		aggregator.add(first, "👍", "Alice", 1);
+		when(bulk.execute()).thenThrow(new IllegalStateException("down")).thenReturn(modified(1));
+
+		aggregator.flush();
+		aggregator.add(first, "👍", "Alice", -1);
+		aggregator.flush();
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(bulk, times(2)).updateOne(query.capture(), any(Update.class));
+		assertEquals(new Document("_id", first).append("reactedBy.👍", "Alice"), query.getValue().getQueryObject());
+	}
+
+	@Test
+	public void testPartialFailureBroadcastsAndRetriesFailed() {
+		stored(first, second);
+		aggregator.add(first, "👍", "Alice", 1);
+		aggregator.add(second, "❤", "Alice", 1);
+		BulkOperationException failure = mock(BulkOperationException.class);
+		when(failure.getErrors()).thenReturn(List.of(new BulkWriteError(1, "failed", new BsonDocument(), 0)));
+		when(failure.getResult()).thenReturn(modified(1));
+		when(bulk.execute()).thenThrow(failure).thenReturn(modified(1));
+
+		aggregator.flush();
+
+		// The applied op is still broadcast
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(bulk, times(2)).updateOne(query.capture(), any(Update.class));
+		Document failedOp = query.getAllValues().get(0).getQueryObject();
+		verify(messagingTemplate, atLeastOnce()).convertAndSend(eq("/topic/public"), any(Entity.class));
+
+		// Only the failed op (index 0) is retried
+		aggregator.flush();
+		verify(bulk, times(3)).updateOne(query.capture(), any(Update.class));
+		assertEquals(failedOp, query.getValue().getQueryObject());
+	}
+
+	@Test
+	public void testForgetDropsPendingReactions() {
+		aggregator.add(first, "👍", "Alice", 1);
+		aggregator.forget(first);
+
+		aggregator.flush();
+		verifyNoInteractions(mongoTemplate, messagingTemplate);
+	}
+
+	/**
+	 * The filter -> update of each op added to the bulk.
+	 */
+	private Map<Document, Document> capturedOps(int count) {
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(bulk, times(count)).updateOne(query.capture(), update.capture());
+		Map<Document, Document> ops = new HashMap<>();
+		for (int i = 0; i < count; i++) {
+			ops.put(query.getAllValues().get(i).getQueryObject(), update.getAllValues().get(i).getUpdateObject());
+		}
+		return ops;
+	}
+
+	/**
+	 * Messages that exist, each with one 👍 from Bob.
+	 */
+	private void stored(String... ids) {
+		List<Entity> states = Arrays.stream(ids)
+				.map(id -> new Entity(id, null, null, null, null, null, 1L, Map.of("👍", 1L),
+						Map.of("👍", List.of("Bob"))))
+				.collect(Collectors.toList());
+		when(mongoTemplate.find(any(Query.class), eq(Entity.class))).thenReturn(states);
+	}
+
+	private static BulkWriteResult modified(int count) {
+		return BulkWriteResult.acknowledged(0, count, 0, count, List.of(), List.of());
+	}
+}